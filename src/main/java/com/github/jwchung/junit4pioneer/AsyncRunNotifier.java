@@ -0,0 +1,392 @@
+package com.github.jwchung.junit4pioneer;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import org.junit.runner.Description;
+import org.junit.runner.Result;
+import org.junit.runner.notification.Failure;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
+
+/**
+ * Delivers the events to a notifier on a single dispatcher thread, so slow listeners don't block
+ * the test threads. It is enabled by the {@code junit4pioneer.notifier.async} system property.
+ *
+ * <p>Listeners receive the events on another thread and later than they were fired. Reporters
+ * that time a test between its started and finished events then include the queueing delay in
+ * its duration, and reporters that assign captured output to the current test can assign it to
+ * the wrong one.
+ *
+ * <p>A stop requested on the given notifier is only noticed when a started event is delivered.
+ * At most {@link #MAX_PENDING_STARTS} test cases can be started before their started events are
+ * delivered, so up to that many test cases run past a stop request. They aren't reported, since
+ * the given notifier refuses to start them.
+ */
+class AsyncRunNotifier extends RunNotifier {
+    static final String ENABLED_PROPERTY = "junit4pioneer.notifier.async";
+    static final int MAX_PENDING_STARTS = 16;
+
+    private static final int CAPACITY = 1024;
+    private static final int BATCH_SIZE = 64;
+    private static final long MIN_BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final RunNotifier notifier;
+    private final RingBuffer<Event> events = new RingBuffer<>(CAPACITY);
+    private final Thread dispatcher = new Thread(this::dispatch, "junit4-pioneer-notifier");
+    private final AtomicInteger pendingStarts = new AtomicInteger();
+    private final Set<Description> droppedDescriptions =
+            Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Object closeLock = new Object();
+    private volatile boolean closed;
+    private volatile boolean drained;
+    private volatile boolean waiting;
+    private volatile boolean stopRequested;
+    private volatile Throwable dispatchError;
+
+    private AsyncRunNotifier(RunNotifier notifier) {
+        this.notifier = notifier;
+    }
+
+    static boolean isEnabled() {
+        return Boolean.getBoolean(ENABLED_PROPERTY);
+    }
+
+    /**
+     * Starts a notifier delivering events to the given notifier on a single dispatcher thread.
+     * Events are queued without locking and delivered in the order they were fired by each
+     * thread, so the events of a test case keep their order.
+     *
+     * @param notifier The notifier to which events are delivered
+     *
+     * @return The started notifier, which should be closed to deliver the remaining events
+     */
+    static AsyncRunNotifier start(RunNotifier notifier) {
+        AsyncRunNotifier asyncNotifier = new AsyncRunNotifier(notifier);
+        asyncNotifier.dispatcher.setDaemon(true);
+        asyncNotifier.dispatcher.start();
+        return asyncNotifier;
+    }
+
+    /**
+     * Delivers all the queued events and stops the dispatcher thread, rethrowing the first error
+     * thrown while delivering. Events fired afterwards are delivered synchronously, one at a
+     * time. Once the run is stopped, the test cases not yet started on the given notifier are
+     * dropped along with all their events.
+     */
+    void close() {
+        rethrow(flush());
+    }
+
+    /**
+     * Delivers all the queued events and stops the dispatcher thread like {@link #close()}, but
+     * adds the error thrown while delivering to the given failure the run ends with.
+     *
+     * @param failure The failure the run ends with
+     */
+    void close(Throwable failure) {
+        Throwable throwable = flush();
+
+        if (throwable != null && throwable != failure) {
+            failure.addSuppressed(throwable);
+        }
+    }
+
+    @Override
+    public void addListener(RunListener listener) {
+        notifier.addListener(listener);
+    }
+
+    @Override
+    public void removeListener(RunListener listener) {
+        notifier.removeListener(listener);
+    }
+
+    @Override
+    public void addFirstListener(RunListener listener) {
+        notifier.addFirstListener(listener);
+    }
+
+    @Override
+    public void fireTestRunStarted(Description description) {
+        enqueue(new Event(null, false, target -> target.fireTestRunStarted(description)));
+    }
+
+    @Override
+    public void fireTestRunFinished(Result result) {
+        enqueue(new Event(null, false, target -> target.fireTestRunFinished(result)));
+    }
+
+    @Override
+    public void fireTestStarted(Description description) throws StoppedByUserException {
+        acquirePendingStart();
+
+        if (stopRequested) {
+            pendingStarts.decrementAndGet();
+            throw new StoppedByUserException();
+        }
+
+        enqueue(new Event(description, true, target -> target.fireTestStarted(description)));
+    }
+
+    @Override
+    public void fireTestFailure(Failure failure) {
+        enqueue(new Event(
+                failure.getDescription(), false, target -> target.fireTestFailure(failure)));
+    }
+
+    @Override
+    public void fireTestAssumptionFailed(Failure failure) {
+        enqueue(new Event(
+                failure.getDescription(),
+                false,
+                target -> target.fireTestAssumptionFailed(failure)));
+    }
+
+    @Override
+    public void fireTestIgnored(Description description) {
+        enqueue(new Event(description, false, target -> target.fireTestIgnored(description)));
+    }
+
+    @Override
+    public void fireTestFinished(Description description) {
+        enqueue(new Event(description, false, target -> target.fireTestFinished(description)));
+    }
+
+    @Override
+    public void pleaseStop() {
+        stopRequested = true;
+        notifier.pleaseStop();
+    }
+
+    private Throwable flush() {
+        closed = true;
+        LockSupport.unpark(dispatcher);
+
+        boolean interrupted = false;
+        while (dispatcher.isAlive()) {
+            try {
+                dispatcher.join();
+            } catch (InterruptedException exception) {
+                interrupted = true;
+            }
+        }
+
+        synchronized (closeLock) {
+            drained = true;
+            drain(Integer.MAX_VALUE);
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        Throwable throwable = dispatchError;
+        dispatchError = null;
+        return throwable;
+    }
+
+    private void acquirePendingStart() {
+        long backoffNanos = MIN_BACKOFF_NANOS;
+        while (true) {
+            int pending = pendingStarts.get();
+            if (pending < MAX_PENDING_STARTS
+                    && pendingStarts.compareAndSet(pending, pending + 1)) {
+                return;
+            }
+
+            backoffNanos = backOff(backoffNanos);
+        }
+    }
+
+    private void enqueue(Event event) {
+        boolean offered = false;
+        long backoffNanos = MIN_BACKOFF_NANOS;
+        while (!offered && !drained) {
+            offered = events.offer(event);
+            if (!offered) {
+                backoffNanos = backOff(backoffNanos);
+            }
+        }
+
+        if (drained) {
+            // The dispatcher has stopped, so close() may have missed the offered event.
+            synchronized (closeLock) {
+                drain(Integer.MAX_VALUE);
+                if (!offered) {
+                    deliver(event);
+                }
+            }
+
+            Throwable throwable = dispatchError;
+            dispatchError = null;
+            rethrow(throwable);
+        } else if (waiting) {
+            LockSupport.unpark(dispatcher);
+        }
+    }
+
+    private long backOff(long backoffNanos) {
+        LockSupport.unpark(dispatcher);
+        LockSupport.parkNanos(this, backoffNanos);
+        return Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+    }
+
+    private void dispatch() {
+        while (true) {
+            if (drain(BATCH_SIZE) > 0) {
+                continue;
+            }
+
+            waiting = true;
+            if (events.isEmpty()) {
+                if (closed) {
+                    return;
+                }
+
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+    }
+
+    private int drain(int limit) {
+        int count = 0;
+        while (count < limit) {
+            Event event = events.poll();
+            if (event == null) {
+                break;
+            }
+
+            deliver(event);
+            count++;
+        }
+        return count;
+    }
+
+    private void deliver(Event event) {
+        try {
+            if (droppedDescriptions.contains(event.description)) {
+                return;
+            }
+
+            if (event.isStarted && stopRequested) {
+                droppedDescriptions.add(event.description);
+                return;
+            }
+
+            event.notification.accept(notifier);
+        } catch (StoppedByUserException exception) {
+            stopRequested = true;
+            droppedDescriptions.add(event.description);
+        } catch (Throwable throwable) {
+            if (dispatchError == null) {
+                dispatchError = throwable;
+            }
+        } finally {
+            if (event.isStarted) {
+                pendingStarts.decrementAndGet();
+            }
+        }
+    }
+
+    private static void rethrow(Throwable throwable) {
+        if (throwable instanceof RuntimeException) {
+            throw (RuntimeException) throwable;
+        }
+
+        if (throwable instanceof Error) {
+            throw (Error) throwable;
+        }
+
+        if (throwable != null) {
+            throw new RuntimeException("Thrown while notifying an event.", throwable);
+        }
+    }
+
+    private static class Event {
+        private final Description description;
+        private final boolean isStarted;
+        private final Consumer<RunNotifier> notification;
+
+        public Event(
+                Description description,
+                boolean isStarted,
+                Consumer<RunNotifier> notification) {
+            this.description = description;
+            this.isStarted = isStarted;
+            this.notification = notification;
+        }
+    }
+
+    /**
+     * Represents a bounded, lock-free queue for multiple producers and a single consumer. Each
+     * slot has a sequence telling whether it is free for the producer claiming the position or
+     * published for the consumer.
+     */
+    private static class RingBuffer<E> {
+        private final AtomicReferenceArray<E> slots;
+        private final AtomicLongArray sequences;
+        private final AtomicLong tail = new AtomicLong();
+        private final int mask;
+        private long head;
+
+        public RingBuffer(int capacity) {
+            slots = new AtomicReferenceArray<>(capacity);
+            sequences = new AtomicLongArray(capacity);
+            mask = capacity - 1;
+
+            for (int i = 0; i < capacity; i++) {
+                sequences.set(i, i);
+            }
+        }
+
+        public boolean offer(E element) {
+            while (true) {
+                long position = tail.get();
+                int index = (int) position & mask;
+                long difference = sequences.get(index) - position;
+
+                if (difference < 0) {
+                    return false;
+                }
+
+                if (difference == 0 && tail.compareAndSet(position, position + 1)) {
+                    slots.lazySet(index, element);
+                    // Publishes with a full fence, so that either the parking consumer sees the
+                    // element or the producer sees the consumer waiting.
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+            }
+        }
+
+        public E poll() {
+            int index = (int) head & mask;
+
+            if (sequences.get(index) != head + 1) {
+                return null;
+            }
+
+            E element = slots.get(index);
+            slots.lazySet(index, null);
+            sequences.lazySet(index, head + mask + 1);
+            head++;
+            return element;
+        }
+
+        public boolean isEmpty() {
+            return sequences.get((int) head & mask) != head + 1;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.github.jwchung.junit4pioneer;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Stops running first-class test cases once the given number of them have failed. The remaining
+ * test cases are reported as ignored without being run. On a test class, the failures of all its
+ * test methods are counted together; on a test method, only its own failures are counted and the
+ * class-level limit doesn't apply to it.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface FailFast {
+    /**
+     * Represents the number of failures after which the remaining test cases are skipped.
+     *
+     * @return The maximum number of failures
+     */
+    int maxFailures() default 1;
+}
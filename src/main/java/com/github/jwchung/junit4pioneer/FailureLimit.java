@@ -0,0 +1,47 @@
+package com.github.jwchung.junit4pioneer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.internal.AssumptionViolatedException;
+import org.junit.runners.model.Statement;
+
+class FailureLimit {
+    private static final FailureLimit NONE = new FailureLimit(Integer.MAX_VALUE);
+
+    private final int maxFailures;
+    private final AtomicInteger failures = new AtomicInteger();
+
+    private FailureLimit(int maxFailures) {
+        this.maxFailures = maxFailures;
+    }
+
+    static FailureLimit of(FailFast failFast) {
+        return failFast == null
+                ? NONE
+                : new FailureLimit(failFast.maxFailures());
+    }
+
+    boolean isReached() {
+        return this != NONE && failures.get() >= maxFailures;
+    }
+
+    Statement countFailures(Statement statement) {
+        if (this == NONE) {
+            return statement;
+        }
+
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    statement.evaluate();
+                } catch (AssumptionViolatedException exception) {
+                    throw exception;
+                } catch (Throwable throwable) {
+                    failures.incrementAndGet();
+                    throw throwable;
+                }
+            }
+        };
+    }
+}
@@ -24,7 +24,7 @@ public class FirstClassTestRunner extends Runner implements Filterable {
     private final InnerFirstClassTestRunner innerRunner;
 
     public FirstClassTestRunner(Class<?> klass) throws InitializationError {
-        innerRunner = new InnerFirstClassTestRunner(klass);
+        innerRunner = new InnerFirstClassTestRunner(klass, createSampler());
     }
 
     @Override
@@ -34,7 +34,26 @@ public class FirstClassTestRunner extends Runner implements Filterable {
 
     @Override
     public void run(RunNotifier notifier) {
-        innerRunner.run(notifier);
+        if (innerRunner.sampler.isEnabled()) {
+            System.out.printf(
+                    "FirstClassTestRunner samples test cases of '%s': %s%n",
+                    innerRunner.getTestClass().getName(),
+                    innerRunner.sampler.describe());
+        }
+
+        if (!AsyncRunNotifier.isEnabled()) {
+            innerRunner.run(notifier);
+            return;
+        }
+
+        AsyncRunNotifier asyncNotifier = AsyncRunNotifier.start(notifier);
+        try {
+            innerRunner.run(asyncNotifier);
+        } catch (RuntimeException | Error exception) {
+            asyncNotifier.close(exception);
+            throw exception;
+        }
+        asyncNotifier.close();
     }
 
     @Override
@@ -42,13 +61,38 @@ public class FirstClassTestRunner extends Runner implements Filterable {
         innerRunner.filter(filter);
     }
 
+    private static TestCaseSampler createSampler() throws InitializationError {
+        try {
+            return TestCaseSampler.fromSystemProperties();
+        } catch (IllegalArgumentException exception) {
+            throw new InitializationError(exception);
+        }
+    }
+
     private static class InnerFirstClassTestRunner
             extends ParentRunner<FirstClassTestCaseMethod> {
         private final ConcurrentHashMap<FirstClassTestCaseMethod, Description> methodDescriptions =
                 new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<FrameworkMethod, FailureLimit> methodFailureLimits =
+                new ConcurrentHashMap<>();
+        private final TestCaseSampler sampler;
+        private final FailureLimit classFailureLimit;
 
-        public InnerFirstClassTestRunner(Class<?> declaringClass) throws InitializationError {
+        public InnerFirstClassTestRunner(Class<?> declaringClass, TestCaseSampler sampler)
+                throws InitializationError {
             super(declaringClass);
+            this.sampler = sampler;
+            this.classFailureLimit = FailureLimit.of(getTestClass().getAnnotation(FailFast.class));
+        }
+
+        @Override
+        protected void collectInitializationErrors(List<Throwable> errors) {
+            super.collectInitializationErrors(errors);
+
+            validateFailFast(getTestClass().getAnnotation(FailFast.class), errors);
+            for (FrameworkMethod method : getTestClass().getAnnotatedMethods(Test.class)) {
+                validateFailFast(method.getAnnotation(FailFast.class), errors);
+            }
         }
 
         @Override
@@ -59,7 +103,7 @@ public class FirstClassTestRunner extends Runner implements Filterable {
                     .flatMap(declaringMethod -> {
                         try {
                             return new FirstClassTestCaseMethodComposer(
-                                    declaringMethod, getDeclaringClass())
+                                    declaringMethod, getDeclaringClass(), sampler)
                                     .compose();
                         } catch (RuntimeException exception) {
                             throw exception;
@@ -85,7 +129,14 @@ public class FirstClassTestRunner extends Runner implements Filterable {
         @Override
         protected void runChild(FirstClassTestCaseMethod child, RunNotifier notifier) {
             Description description = describeChild(child);
-            runLeaf(testCaseMethodBlock(child), description, notifier);
+            FailureLimit failureLimit = getFailureLimit(child.declaringMethod);
+
+            if (failureLimit.isReached()) {
+                notifier.fireTestIgnored(description);
+                return;
+            }
+
+            runLeaf(failureLimit.countFailures(testCaseMethodBlock(child)), description, notifier);
         }
 
         @Override
@@ -93,6 +144,26 @@ public class FirstClassTestRunner extends Runner implements Filterable {
             super.filter(new NoPhraseFilter(filter));
         }
 
+        private FailureLimit getFailureLimit(FrameworkMethod declaringMethod) {
+            FailFast failFast = declaringMethod.getAnnotation(FailFast.class);
+
+            if (failFast == null) {
+                return classFailureLimit;
+            }
+
+            return methodFailureLimits.computeIfAbsent(
+                    declaringMethod, method -> FailureLimit.of(failFast));
+        }
+
+        private static void validateFailFast(FailFast failFast, List<Throwable> errors) {
+            if (failFast != null && failFast.maxFailures() < 1) {
+                String message = String.format(
+                        "The maxFailures of @FailFast should be positive but was %d.",
+                        failFast.maxFailures());
+                errors.add(new Exception(message));
+            }
+        }
+
         private TestClass getDeclaringClass() {
             return super.getTestClass();
         }
@@ -109,12 +180,16 @@ public class FirstClassTestRunner extends Runner implements Filterable {
         private static class FirstClassTestCaseMethodComposer {
             private final FrameworkMethod declaringMethod;
             private final TestClass declaringClass;
+            private final TestCaseSampler sampler;
 
             public FirstClassTestCaseMethodComposer(
-                    FrameworkMethod declaringMethod, TestClass declaringClass) {
+                    FrameworkMethod declaringMethod,
+                    TestClass declaringClass,
+                    TestCaseSampler sampler) {
 
                 this.declaringMethod = declaringMethod;
                 this.declaringClass = declaringClass;
+                this.sampler = sampler;
             }
 
             public Stream<FirstClassTestCaseMethod> compose() throws Throwable {
@@ -125,11 +200,11 @@ public class FirstClassTestRunner extends Runner implements Filterable {
                 }
 
                 if (Iterable.class.isAssignableFrom(returnType)) {
-                    return composeIterableTestCaseMethods();
+                    return sample(composeIterableTestCaseMethods());
                 }
 
                 if (Stream.class.isAssignableFrom(returnType)) {
-                    return composeStreamTestCaseMethods();
+                    return sample(composeStreamTestCaseMethods());
                 }
 
                 String message = String.format(
@@ -196,6 +271,14 @@ public class FirstClassTestRunner extends Runner implements Filterable {
                         });
             }
 
+            private Stream<FirstClassTestCaseMethod> sample(
+                    Stream<FirstClassTestCaseMethod> testCaseMethods) {
+                String streamName = String.format(
+                        "%s#%s", declaringClass.getName(), declaringMethod.getName());
+
+                return sampler.sample(testCaseMethods, streamName);
+            }
+
             private Object createDeclaringClassObject() throws Exception {
                 return declaringClass.getOnlyConstructor().newInstance();
             }
@@ -0,0 +1,174 @@
+package com.github.jwchung.junit4pioneer;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+class TestCaseSampler {
+    static final String FRACTION_PROPERTY = "junit4pioneer.sampling.fraction";
+    static final String COUNT_PROPERTY = "junit4pioneer.sampling.count";
+    static final String SEED_PROPERTY = "junit4pioneer.sampling.seed";
+
+    private static final long DEFAULT_SEED = new Random().nextLong();
+
+    private static final TestCaseSampler NONE = new TestCaseSampler(1.0, -1, 0L);
+
+    private final double fraction;
+    private final int count;
+    private final long seed;
+
+    private TestCaseSampler(double fraction, int count, long seed) {
+        this.fraction = fraction;
+        this.count = count;
+        this.seed = seed;
+    }
+
+    /**
+     * Creates a sampler configured by the {@code junit4pioneer.sampling.*} system properties.
+     * Without a seed property, a seed shared by the whole JVM is used so that a single value
+     * reproduces every sampled class of the run.
+     *
+     * @return The sampler, or the one selecting every test case if sampling isn't configured
+     *
+     * @throws IllegalArgumentException If the properties have invalid values
+     */
+    static TestCaseSampler fromSystemProperties() {
+        String fractionValue = System.getProperty(FRACTION_PROPERTY);
+        String countValue = System.getProperty(COUNT_PROPERTY);
+
+        if (fractionValue == null && countValue == null) {
+            return NONE;
+        }
+
+        if (fractionValue != null && countValue != null) {
+            String message = String.format(
+                    "Only one of '%s' and '%s' can be set.", FRACTION_PROPERTY, COUNT_PROPERTY);
+            throw new IllegalArgumentException(message);
+        }
+
+        long seed = parseSeed(System.getProperty(SEED_PROPERTY));
+
+        return fractionValue != null
+                ? new TestCaseSampler(parseFraction(fractionValue), -1, seed)
+                : new TestCaseSampler(1.0, parseCount(countValue), seed);
+    }
+
+    boolean isEnabled() {
+        return this != NONE;
+    }
+
+    String describe() {
+        String selection = count < 0
+                ? String.format("fraction=%s", fraction)
+                : String.format("count=%d", count);
+
+        return String.format(
+                "%s, seed=%d (rerun with -D%s=%d to reproduce)",
+                selection, seed, SEED_PROPERTY, seed);
+    }
+
+    /**
+     * Selects a reproducible subset of the given test cases. The selection only depends on the
+     * seed and the stream name, and keeps the encounter order of the test cases. Skipped test
+     * cases are dropped as they are pulled, so at most the selected ones are retained.
+     *
+     * @param testCases  The test cases to be sampled
+     * @param streamName The name identifying the stream, such as the factory method
+     * @param <T>        The type of test cases
+     *
+     * @return The sampled test cases
+     */
+    <T> Stream<T> sample(Stream<T> testCases, String streamName) {
+        if (!isEnabled()) {
+            return testCases;
+        }
+
+        Random random = new Random(seed ^ streamName.hashCode());
+
+        return count < 0
+                ? testCases.sequential().filter(testCase -> random.nextDouble() < fraction)
+                : selectReservoir(testCases, random);
+    }
+
+    private <T> Stream<T> selectReservoir(Stream<T> testCases, Random random) {
+        List<SelectedTestCase<T>> reservoir = new ArrayList<>();
+        Iterator<T> iterator = testCases.sequential().iterator();
+
+        for (long position = 0; iterator.hasNext(); position++) {
+            T testCase = iterator.next();
+
+            if (position < count) {
+                reservoir.add(new SelectedTestCase<>(position, testCase));
+                continue;
+            }
+
+            long index = (long) (random.nextDouble() * (position + 1));
+            if (index < count) {
+                reservoir.set((int) index, new SelectedTestCase<>(position, testCase));
+            }
+        }
+
+        return reservoir
+                .stream()
+                .sorted(Comparator.comparingLong(selected -> selected.position))
+                .map(selected -> selected.testCase)
+                .onClose(testCases::close);
+    }
+
+    private static double parseFraction(String value) {
+        double fraction = parse(FRACTION_PROPERTY, value, Double::parseDouble);
+
+        if (!(fraction >= 0.0 && fraction <= 1.0)) {
+            throw invalidValue(FRACTION_PROPERTY, value, null);
+        }
+
+        return fraction;
+    }
+
+    private static int parseCount(String value) {
+        int count = parse(COUNT_PROPERTY, value, Integer::parseInt);
+
+        if (count < 0) {
+            throw invalidValue(COUNT_PROPERTY, value, null);
+        }
+
+        return count;
+    }
+
+    private static long parseSeed(String value) {
+        return value == null
+                ? DEFAULT_SEED
+                : parse(SEED_PROPERTY, value, Long::parseLong);
+    }
+
+    private static <T> T parse(
+            String property, String value, Function<String, T> parser) {
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException exception) {
+            throw invalidValue(property, value, exception);
+        }
+    }
+
+    private static IllegalArgumentException invalidValue(
+            String property, String value, Throwable cause) {
+        String message = String.format(
+                "The value '%s' of the system property '%s' is invalid.", value, property);
+
+        return new IllegalArgumentException(message, cause);
+    }
+
+    private static class SelectedTestCase<T> {
+        private final long position;
+        private final T testCase;
+
+        public SelectedTestCase(long position, T testCase) {
+            this.position = position;
+            this.testCase = testCase;
+        }
+    }
+}
@@ -34,31 +34,37 @@ public class WithParametersDisplayerBuilder<ParametersT> {
 
     private Stream<FirstClassTestCase> runWithPhrase(
             FirstClassTestCaseWithParameters<? super ParametersT> testCase) {
-        return testData.map(parameters -> {
-            String phrase = displayer.display(parameters);
-            return new ParametersDisplayableTestCase(phrase) {
-                @Override
-                public void run() {
-                    testCase.run(parameters);
-                }
-            };
-        });
+        return testData.map(parameters ->
+                new ParametersDisplayableTestCase<ParametersT>(parameters, displayer, testCase));
     }
 
-    private abstract static class ParametersDisplayableTestCase
+    private static class ParametersDisplayableTestCase<ParametersT>
             implements FirstClassTestCase, ParametersDisplayable {
-        private final String phrase;
+        private final ParametersT parameters;
+        private final ParametersDisplayer<? super ParametersT> displayer;
+        private final FirstClassTestCaseWithParameters<? super ParametersT> testCase;
+        private String phrase;
 
-        public ParametersDisplayableTestCase(String phrase) {
-            this.phrase = phrase;
+        public ParametersDisplayableTestCase(
+                ParametersT parameters,
+                ParametersDisplayer<? super ParametersT> displayer,
+                FirstClassTestCaseWithParameters<? super ParametersT> testCase) {
+            this.parameters = parameters;
+            this.displayer = displayer;
+            this.testCase = testCase;
         }
 
         @Override
-        public String getPhrase() {
+        public synchronized String getPhrase() {
+            if (phrase == null) {
+                phrase = displayer.display(parameters);
+            }
             return phrase;
         }
 
         @Override
-        public abstract void run();
+        public void run() {
+            testCase.run(parameters);
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.github.jwchung.junit4pioneer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.junit.runner.Description;
+import org.junit.runner.RunWith;
+import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runners.BlockJUnit4ClassRunner;
+
+@RunWith(BlockJUnit4ClassRunner.class)
+public class AsyncRunNotifierTest {
+    private static final int THREAD_COUNT = 4;
+    private static final int TEST_CASE_COUNT = 2000;
+    private static final int IGNORED_TEST_CASE_COUNT = 500;
+
+    @Test
+    public void sutDeliversEventsOfEachDescriptionInOrderFromParallelThreads()
+            throws Exception {
+        // Fixture setup
+        List<String> notifiedEvents = new ArrayList<>();
+        CountDownLatch bufferFilled = new CountDownLatch(1);
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testIgnored(Description description) throws Exception {
+                bufferFilled.await();
+                notifiedEvents.add("ignored " + description.getMethodName());
+            }
+
+            @Override
+            public void testStarted(Description description) {
+                notifiedEvents.add("started " + description.getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                notifiedEvents.add("finished " + description.getMethodName());
+            }
+        });
+        AtomicInteger firedEventCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        AsyncRunNotifier sut = AsyncRunNotifier.start(notifier);
+
+        // Exercise system
+        List<Future<?>> workers = new ArrayList<>();
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            String threadName = "thread" + thread;
+            workers.add(executor.submit(() -> {
+                for (int i = 0; i < IGNORED_TEST_CASE_COUNT; i++) {
+                    sut.fireTestIgnored(Description.createTestDescription(
+                            AsyncRunNotifierTest.class, threadName + "-ignored[" + i + "]"));
+                    firedEventCount.incrementAndGet();
+                }
+
+                for (int i = 0; i < TEST_CASE_COUNT; i++) {
+                    Description description = Description.createTestDescription(
+                            AsyncRunNotifierTest.class, threadName + "[" + i + "]");
+                    sut.fireTestStarted(description);
+                    firedEventCount.incrementAndGet();
+                    sut.fireTestFinished(description);
+                    firedEventCount.incrementAndGet();
+                }
+            }));
+        }
+
+        // The listener blocks the first event, so the ignored test cases fill the buffer and the
+        // producers have to wait for room.
+        while (firedEventCount.get() < 1024) {
+            Thread.sleep(1);
+        }
+        bufferFilled.countDown();
+
+        for (Future<?> worker : workers) {
+            worker.get();
+        }
+        executor.shutdown();
+        sut.close();
+
+        // Verify outcome
+        assertEquals(
+                THREAD_COUNT * (IGNORED_TEST_CASE_COUNT + TEST_CASE_COUNT * 2),
+                notifiedEvents.size());
+        Map<String, Integer> eventIndexes = new HashMap<>();
+        for (int i = 0; i < notifiedEvents.size(); i++) {
+            eventIndexes.put(notifiedEvents.get(i), i);
+        }
+        for (int thread = 0; thread < THREAD_COUNT; thread++) {
+            for (int i = 0; i < TEST_CASE_COUNT; i++) {
+                String methodName = "thread" + thread + "[" + i + "]";
+                Integer startedIndex = eventIndexes.get("started " + methodName);
+                Integer finishedIndex = eventIndexes.get("finished " + methodName);
+                assertTrue(startedIndex != null && finishedIndex != null);
+                assertTrue(startedIndex < finishedIndex);
+            }
+        }
+    }
+}
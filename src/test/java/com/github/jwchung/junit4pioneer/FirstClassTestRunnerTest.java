@@ -4,11 +4,14 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import org.junit.Test;
@@ -18,6 +21,8 @@ import org.junit.runner.Request;
 import org.junit.runner.Result;
 import org.junit.runner.RunWith;
 import org.junit.runner.notification.RunListener;
+import org.junit.runner.notification.RunNotifier;
+import org.junit.runner.notification.StoppedByUserException;
 import org.junit.runners.BlockJUnit4ClassRunner;
 
 @RunWith(BlockJUnit4ClassRunner.class)
@@ -155,6 +160,85 @@ public class FirstClassTestRunnerTest {
         }
     }
 
+    @RunWith(FirstClassTestRunner.class)
+    public static class SamplingTestClass {
+        @Test
+        public Stream<FirstClassTestCase> createTestCases() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 100).boxed())
+                    .displayParameters(x -> String.format("value=%s", x))
+                    .run(x -> assertTrue(x < 100));
+        }
+
+        @Test
+        public void voidTestCase() {
+        }
+    }
+
+    @RunWith(FirstClassTestRunner.class)
+    public static class ManyTestCasesTestClass {
+        private static final AtomicInteger executedCount = new AtomicInteger();
+
+        @Test
+        public Stream<FirstClassTestCase> createTestCases() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 5000).boxed())
+                    .displayParameters(x -> String.format("value=%s", x))
+                    .run(x -> {
+                        executedCount.incrementAndGet();
+                        assertTrue(x < 5000);
+                    });
+        }
+    }
+
+    @RunWith(FirstClassTestRunner.class)
+    public static class MethodFailFastTestClass {
+        @Test
+        @FailFast
+        public Stream<FirstClassTestCase> stopAfterFirstFailure() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 5).boxed())
+                    .run(x -> assertTrue(x < 0));
+        }
+
+        @Test
+        @FailFast(maxFailures = 2)
+        public Stream<FirstClassTestCase> stopAfterTwoFailures() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 5).boxed())
+                    .run(x -> assertTrue(x < 0));
+        }
+    }
+
+    @RunWith(FirstClassTestRunner.class)
+    @FailFast(maxFailures = 3)
+    public static class ClassFailFastTestClass {
+        @Test
+        public Stream<FirstClassTestCase> createTestCases() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 2).boxed())
+                    .run(x -> assertTrue(x < 0));
+        }
+
+        @Test
+        public Stream<FirstClassTestCase> createOtherTestCases() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 2).boxed())
+                    .run(x -> assertTrue(x < 0));
+        }
+    }
+
+    @RunWith(FirstClassTestRunner.class)
+    public static class InvalidFailFastTestClass {
+        @Test
+        @FailFast(maxFailures = 0)
+        public Stream<FirstClassTestCase> createTestCases() {
+            return FirstClassTestCases
+                    .with(IntStream.range(0, 2).boxed())
+                    .run(x -> assertTrue(x < 0));
+        }
+    }
+
     @Test
     public void sutCorrectlyRunsIterableTestCases() {
         Result result = JUnitCore.runClasses(IterableTestClass.class);
@@ -267,4 +351,197 @@ public class FirstClassTestRunnerTest {
         // Verify outcome
         assertThat(executedTestNames, is(expected));
     }
+
+    @Test
+    public void sutRunsSampledCountOfTestCases() {
+        System.setProperty(TestCaseSampler.COUNT_PROPERTY, "10");
+        try {
+            Result result = JUnitCore.runClasses(SamplingTestClass.class);
+            assertEquals(11, result.getRunCount());
+            assertEquals(0, result.getFailureCount());
+        } finally {
+            System.clearProperty(TestCaseSampler.COUNT_PROPERTY);
+        }
+    }
+
+    @Test
+    public void sutSamplesSameFractionOfTestCasesWithSameSeed() {
+        // Fixture setup
+        System.setProperty(TestCaseSampler.FRACTION_PROPERTY, "0.1");
+        System.setProperty(TestCaseSampler.SEED_PROPERTY, "42");
+        try {
+            List<String> expected = runSamplingTestCases();
+
+            // Exercise system
+            List<String> actual = runSamplingTestCases();
+
+            // Verify outcome
+            assertTrue(actual.size() > 0 && actual.size() < 100);
+            assertThat(actual, is(expected));
+            assertIncreasingValues(actual);
+        } finally {
+            System.clearProperty(TestCaseSampler.FRACTION_PROPERTY);
+            System.clearProperty(TestCaseSampler.SEED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void sutSamplesSameCountOfTestCasesWithSameSeed() {
+        // Fixture setup
+        System.setProperty(TestCaseSampler.COUNT_PROPERTY, "10");
+        System.setProperty(TestCaseSampler.SEED_PROPERTY, "42");
+        try {
+            List<String> expected = runSamplingTestCases();
+
+            // Exercise system
+            List<String> actual = runSamplingTestCases();
+
+            // Verify outcome
+            assertEquals(10, actual.size());
+            assertThat(actual, is(expected));
+            assertIncreasingValues(actual);
+        } finally {
+            System.clearProperty(TestCaseSampler.COUNT_PROPERTY);
+            System.clearProperty(TestCaseSampler.SEED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void sutSamplesAllTestCasesWhenCountExceedsThem() {
+        System.setProperty(TestCaseSampler.COUNT_PROPERTY, String.valueOf(Integer.MAX_VALUE));
+        try {
+            Result result = JUnitCore.runClasses(SamplingTestClass.class);
+            assertEquals(101, result.getRunCount());
+            assertEquals(0, result.getFailureCount());
+        } finally {
+            System.clearProperty(TestCaseSampler.COUNT_PROPERTY);
+        }
+    }
+
+    @Test
+    public void sutSkipsRemainingTestCasesOfMethodAfterFailureLimit() {
+        Result result = JUnitCore.runClasses(MethodFailFastTestClass.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(3, result.getFailureCount());
+        assertEquals(7, result.getIgnoreCount());
+    }
+
+    @Test
+    public void sutSkipsRemainingTestCasesOfClassAfterFailureLimit() {
+        Result result = JUnitCore.runClasses(ClassFailFastTestClass.class);
+        assertEquals(3, result.getRunCount());
+        assertEquals(3, result.getFailureCount());
+        assertEquals(1, result.getIgnoreCount());
+    }
+
+    @Test
+    public void sutDoesNotRunTestCasesWithInvalidFailureLimit() {
+        Result result = JUnitCore.runClasses(InvalidFailFastTestClass.class);
+        assertEquals(0, result.getRunCount());
+        assertEquals(1, result.getFailureCount());
+        assertEquals(
+                "The maxFailures of @FailFast should be positive but was 0.",
+                result.getFailures().get(0).getMessage());
+    }
+
+    @Test
+    public void sutNotifiesAllEventsInOrderBeforeFinishing() {
+        // Fixture setup
+        List<String> notifiedEvents = new ArrayList<>();
+        JUnitCore junitCore = new JUnitCore();
+        junitCore.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                notifiedEvents.add("started " + description.getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                notifiedEvents.add("finished " + description.getMethodName());
+            }
+        });
+        List<String> expected = IntStream.range(0, 5000)
+                .mapToObj(x -> String.format("createTestCases[value=%s]", x))
+                .flatMap(name -> Stream.of("started " + name, "finished " + name))
+                .collect(Collectors.toList());
+
+        System.setProperty(AsyncRunNotifier.ENABLED_PROPERTY, "true");
+        try {
+            // Exercise system
+            Result result = junitCore.run(ManyTestCasesTestClass.class);
+
+            // Verify outcome
+            assertEquals(5000, result.getRunCount());
+            assertThat(notifiedEvents, is(expected));
+        } finally {
+            System.clearProperty(AsyncRunNotifier.ENABLED_PROPERTY);
+        }
+    }
+
+    @Test
+    public void sutStopsNotifyingTestCasesWhenStopIsRequested() throws Exception {
+        // Fixture setup
+        List<String> startedTestNames = new ArrayList<>();
+        List<String> finishedTestNames = new ArrayList<>();
+        RunNotifier notifier = new RunNotifier();
+        notifier.addListener(new RunListener() {
+            @Override
+            public void testStarted(Description description) {
+                startedTestNames.add(description.getMethodName());
+            }
+
+            @Override
+            public void testFinished(Description description) {
+                finishedTestNames.add(description.getMethodName());
+                if (finishedTestNames.size() == 10) {
+                    notifier.pleaseStop();
+                }
+            }
+        });
+        FirstClassTestRunner sut = new FirstClassTestRunner(ManyTestCasesTestClass.class);
+        ManyTestCasesTestClass.executedCount.set(0);
+        System.setProperty(AsyncRunNotifier.ENABLED_PROPERTY, "true");
+
+        // Exercise system
+        try {
+            sut.run(notifier);
+            fail("The run should have been stopped.");
+        } catch (StoppedByUserException expected) {
+        } finally {
+            System.clearProperty(AsyncRunNotifier.ENABLED_PROPERTY);
+        }
+
+        // Verify outcome
+        assertEquals(10, startedTestNames.size());
+        assertThat(finishedTestNames, is(startedTestNames));
+        int executedCount = ManyTestCasesTestClass.executedCount.get();
+        assertTrue(executedCount >= 10);
+        assertTrue(executedCount <= 10 + AsyncRunNotifier.MAX_PENDING_STARTS);
+    }
+
+    private static List<String> runSamplingTestCases() {
+        List<String> executedTestNames = new ArrayList<>();
+        JUnitCore junitCore = new JUnitCore();
+        junitCore.addListener(new RunListener() {
+            @Override
+            public void testFinished(Description description) {
+                executedTestNames.add(description.getMethodName());
+            }
+        });
+
+        junitCore.run(Request.method(SamplingTestClass.class, "createTestCases"));
+        return executedTestNames;
+    }
+
+    private static void assertIncreasingValues(List<String> testNames) {
+        int[] values = testNames
+                .stream()
+                .mapToInt(name -> Integer.parseInt(
+                        name.substring(name.indexOf("value=") + 6, name.indexOf(']'))))
+                .toArray();
+
+        for (int i = 1; i < values.length; i++) {
+            assertTrue(values[i - 1] < values[i]);
+        }
+    }
 }